@@ -1,24 +1,71 @@
 package core;
 
+import enums.SpotType;
+import enums.VehicleType;
+import interfaces.IOccupancyListener;
 import interfaces.ISlotAllocationStrategy;
 import models.*;
+import vehicles.Vehicle;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class ParkingLot {
     private final List<ParkingFloor> floors;
     private final ISlotAllocationStrategy allocationStrategy;
     private final List<EntryGate> entryGates;
     private final List<ExitGate> exitGates;
+    private final Map<SpotType, AtomicInteger> freeSpotCounts;
+    private final AtomicInteger freeChargingSpotCount;
+    private final AtomicInteger busCapacity;
+    private final IOccupancyListener occupancyTracker;
+    private final PermitStore permitStore;
+    private final Map<String, SpotHold> activeHolds;
+    private final PriorityBlockingQueue<SpotHold> holdExpiryQueue;
     
     public ParkingLot(ISlotAllocationStrategy allocationStrategy) {
         this.floors = new ArrayList<>();
         this.allocationStrategy = allocationStrategy;
         this.entryGates = new ArrayList<>();
         this.exitGates = new ArrayList<>();
+        this.freeSpotCounts = new EnumMap<>(SpotType.class);
+        for (SpotType spotType : SpotType.values()) {
+            freeSpotCounts.put(spotType, new AtomicInteger());
+        }
+        this.freeChargingSpotCount = new AtomicInteger();
+        this.busCapacity = new AtomicInteger();
+        this.permitStore = new PermitStore();
+        this.activeHolds = new ConcurrentHashMap<>();
+        this.holdExpiryQueue = new PriorityBlockingQueue<>(16, Comparator.comparing(SpotHold::getExpiresAt));
+        this.occupancyTracker = new IOccupancyListener() {
+            @Override
+            public void onSpotOccupied(ParkingSpot spot) {
+                freeSpotCounts.get(spot.getSpotType()).decrementAndGet();
+                if (spot.hasChargingPoint()) {
+                    freeChargingSpotCount.decrementAndGet();
+                }
+            }
+            
+            @Override
+            public void onSpotFreed(ParkingSpot spot) {
+                freeSpotCounts.get(spot.getSpotType()).incrementAndGet();
+                if (spot.hasChargingPoint()) {
+                    freeChargingSpotCount.incrementAndGet();
+                }
+            }
+            
+            @Override
+            public void onBusCapacityChanged(int capacityChange) {
+                busCapacity.addAndGet(capacityChange);
+            }
+        };
     }
     
     public void addFloor(ParkingFloor floor) {
         floors.add(floor);
+        floor.addOccupancyListener(occupancyTracker);
     }
     
     public void addEntryGate(EntryGate gate) {
@@ -27,14 +74,16 @@ public class ParkingLot {
     }
     
     public void addExitGate(ExitGate gate) {
+        gate.setParkingLot(this);
         exitGates.add(gate);
     }
     
     public List<ParkingSpot> getAvailableSpots() {
+        expireHolds();
         List<ParkingSpot> emptySpots = new ArrayList<>();
         for (ParkingFloor floor : floors) {
             for (ParkingSpot spot : floor.getSpots()) {
-                if (spot.isAvailable()) {
+                if (spot.isAvailable() && !spot.isSetAside()) {
                     emptySpots.add(new ParkingSpot(spot));
                 }
             }
@@ -42,6 +91,161 @@ public class ParkingLot {
         return emptySpots;
     }
     
+    public int getFreeSpotCount(SpotType spotType) {
+        expireHolds();
+        return freeSpotCounts.get(spotType).get();
+    }
+    
+    public int getFreeChargingSpotCount() {
+        expireHolds();
+        return freeChargingSpotCount.get();
+    }
+    
+    public int getBusCapacity() {
+        expireHolds();
+        return busCapacity.get();
+    }
+    
+    public List<ParkingSpot> claimContiguousSpots(Vehicle vehicle, SpotType spotType, int count) {
+        expireHolds();
+        for (ParkingFloor floor : floors) {
+            List<ParkingSpot> claimedSpots = floor.claimContiguousSpots(spotType, count, vehicle);
+            if (!claimedSpots.isEmpty()) {
+                return claimedSpots;
+            }
+        }
+        return Collections.emptyList();
+    }
+    
+    public int reserveSpotsForGroup(String permitGroup, SpotType spotType, int count) {
+        int reservedCount = 0;
+        for (ParkingFloor floor : floors) {
+            if (reservedCount == count) {
+                break;
+            }
+            reservedCount += floor.reserveSpots(permitGroup, spotType, count - reservedCount);
+        }
+        return reservedCount;
+    }
+    
+    public int releaseSpotsForGroup(String permitGroup, SpotType spotType, int count) {
+        int releasedCount = 0;
+        for (ParkingFloor floor : floors) {
+            if (releasedCount == count) {
+                break;
+            }
+            releasedCount += floor.releaseReservedSpots(permitGroup, spotType, count - releasedCount);
+        }
+        return releasedCount;
+    }
+    
+    public int getReservedSpotCount(String permitGroup, SpotType spotType) {
+        int reservedCount = 0;
+        for (ParkingFloor floor : floors) {
+            reservedCount += floor.getReservedSpotCount(permitGroup, spotType);
+        }
+        return reservedCount;
+    }
+    
+    public int resizeGroupPool(String permitGroup, SpotType spotType, int poolSize) {
+        int currentSize = getReservedSpotCount(permitGroup, spotType);
+        if (poolSize > currentSize) {
+            return currentSize + reserveSpotsForGroup(permitGroup, spotType, poolSize - currentSize);
+        }
+        return currentSize - releaseSpotsForGroup(permitGroup, spotType, currentSize - poolSize);
+    }
+    
+    public List<ParkingSpot> claimReservedSpots(Vehicle vehicle, String permitGroup, SpotType spotType, int count) {
+        for (ParkingFloor floor : floors) {
+            List<ParkingSpot> claimedSpots = floor.claimReservedSpots(permitGroup, spotType, count, vehicle);
+            if (!claimedSpots.isEmpty()) {
+                return claimedSpots;
+            }
+        }
+        return Collections.emptyList();
+    }
+    
+    public boolean holdSpots(SpotHold hold) {
+        expireHolds();
+        for (ParkingFloor floor : floors) {
+            if (floor.holdContiguousSpots(hold.getHoldId(), hold.getSpotType(), hold.getSpotCount())) {
+                activeHolds.put(hold.getHoldId(), hold);
+                holdExpiryQueue.offer(hold);
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    public List<ParkingSpot> redeemHold(String holdId, Vehicle vehicle) {
+        expireHolds();
+        SpotHold hold = holdId == null ? null : activeHolds.get(holdId);
+        if (hold == null) {
+            return Collections.emptyList();
+        }
+        if (hold.isExpired(Instant.now())) {
+            releaseHold(holdId);
+            return Collections.emptyList();
+        }
+        if (!hold.getVehicleNo().equals(vehicle.getVehicleNo()) || !holdFitsVehicle(hold, vehicle)) {
+            return Collections.emptyList();
+        }
+        if (!activeHolds.remove(holdId, hold)) {
+            return Collections.emptyList();
+        }
+        holdExpiryQueue.remove(hold);
+        
+        for (ParkingFloor floor : floors) {
+            List<ParkingSpot> heldSpots = floor.redeemHeldSpots(holdId, vehicle);
+            if (!heldSpots.isEmpty()) {
+                return heldSpots;
+            }
+        }
+        return Collections.emptyList();
+    }
+    
+    private boolean holdFitsVehicle(SpotHold hold, Vehicle vehicle) {
+        if (vehicle.getType() != VehicleType.BUS) {
+            return true;
+        }
+        return hold.getSpotType() == SpotType.LARGE
+                || (hold.getSpotType() == SpotType.MEDIUM && hold.getSpotCount() >= ParkingFloor.MEDIUM_SPOTS_PER_BUS);
+    }
+    
+    public boolean releaseHold(String holdId) {
+        SpotHold hold = activeHolds.remove(holdId);
+        if (hold == null) {
+            return false;
+        }
+        holdExpiryQueue.remove(hold);
+        releaseHeldSpots(holdId);
+        return true;
+    }
+    
+    private void expireHolds() {
+        Instant now = Instant.now();
+        SpotHold oldestHold;
+        while ((oldestHold = holdExpiryQueue.peek()) != null && oldestHold.isExpired(now)) {
+            SpotHold expiredHold = holdExpiryQueue.poll();
+            if (expiredHold == null) {
+                return;
+            }
+            if (!expiredHold.isExpired(now)) {
+                holdExpiryQueue.offer(expiredHold);
+                return;
+            }
+            if (activeHolds.remove(expiredHold.getHoldId(), expiredHold)) {
+                releaseHeldSpots(expiredHold.getHoldId());
+            }
+        }
+    }
+    
+    private void releaseHeldSpots(String holdId) {
+        for (ParkingFloor floor : floors) {
+            floor.releaseHeldSpots(holdId);
+        }
+    }
+    
     public List<ParkingFloor> getFloors() {
         List<ParkingFloor> floorsCopy = new ArrayList<>();
         for (ParkingFloor floor : floors) {
@@ -69,4 +273,8 @@ public class ParkingLot {
     public ISlotAllocationStrategy getAllocationStrategy() {
         return allocationStrategy;
     }
+    
+    public PermitStore getPermitStore() {
+        return permitStore;
+    }
 }
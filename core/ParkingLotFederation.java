@@ -0,0 +1,164 @@
+package core;
+
+import enums.SpotType;
+import interfaces.IElectricVehicle;
+import enums.VehicleType;
+import models.GeoLocation;
+import models.LotSummary;
+import models.ParkingFloor;
+import models.SpotHold;
+import vehicles.Vehicle;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.function.Predicate;
+
+public class ParkingLotFederation {
+    private final Map<String, FederatedLot> lots;
+    private final Map<String, SpotHold> activeHolds;
+    private final PriorityBlockingQueue<SpotHold> holdExpiryQueue;
+    
+    public ParkingLotFederation() {
+        this.lots = new ConcurrentHashMap<>();
+        this.activeHolds = new ConcurrentHashMap<>();
+        this.holdExpiryQueue = new PriorityBlockingQueue<>(16, Comparator.comparing(SpotHold::getExpiresAt));
+    }
+    
+    public void registerLot(String lotId, ParkingLot parkingLot, GeoLocation location) {
+        if (lots.putIfAbsent(lotId, new FederatedLot(lotId, parkingLot, location)) != null) {
+            throw new IllegalArgumentException("Lot " + lotId + " is already part of the federation");
+        }
+    }
+    
+    public LotSummary getSummary(String lotId) {
+        expireHolds();
+        return findLot(lotId).summarize();
+    }
+    
+    public List<LotSummary> findNearestLots(Vehicle vehicle, GeoLocation origin, int limit) {
+        if (vehicle.getType() == VehicleType.BUS) {
+            return findNearestLots(lot -> lot.parkingLot.getBusCapacity() > 0, origin, limit);
+        }
+        return findNearestLots(spotTypeFor(vehicle), origin, limit);
+    }
+    
+    public List<LotSummary> findNearestLots(SpotType spotType, GeoLocation origin, int limit) {
+        return findNearestLots(lot -> lot.parkingLot.getFreeSpotCount(spotType) > 0, origin, limit);
+    }
+    
+    private List<LotSummary> findNearestLots(Predicate<FederatedLot> hasRoom, GeoLocation origin, int limit) {
+        expireHolds();
+        
+        List<FederatedLot> candidates = new ArrayList<>();
+        Map<FederatedLot, Double> distances = new HashMap<>();
+        for (FederatedLot lot : lots.values()) {
+            if (hasRoom.test(lot)) {
+                candidates.add(lot);
+                distances.put(lot, origin.distanceKmTo(lot.location));
+            }
+        }
+        candidates.sort(Comparator.comparing(distances::get));
+        
+        List<LotSummary> nearestLots = new ArrayList<>();
+        for (int i = 0; i < Math.min(limit, candidates.size()); i++) {
+            nearestLots.add(candidates.get(i).summarize());
+        }
+        return nearestLots;
+    }
+    
+    public SpotHold placeHold(String lotId, Vehicle vehicle, Duration holdFor) {
+        expireHolds();
+        FederatedLot lot = findLot(lotId);
+        if (vehicle.getType() != VehicleType.BUS) {
+            return tryHold(lot, vehicle, spotTypeFor(vehicle), 1, holdFor);
+        }
+        
+        SpotHold hold = tryHold(lot, vehicle, SpotType.LARGE, 1, holdFor);
+        if (hold == null) {
+            hold = tryHold(lot, vehicle, SpotType.MEDIUM, ParkingFloor.MEDIUM_SPOTS_PER_BUS, holdFor);
+        }
+        return hold;
+    }
+    
+    private SpotHold tryHold(FederatedLot lot, Vehicle vehicle, SpotType spotType, int spotCount, Duration holdFor) {
+        SpotHold hold = new SpotHold(lot.lotId, vehicle.getVehicleNo(), spotType, spotCount, Instant.now().plus(holdFor));
+        if (!lot.parkingLot.holdSpots(hold)) {
+            return null;
+        }
+        
+        activeHolds.put(hold.getHoldId(), hold);
+        holdExpiryQueue.offer(hold);
+        return hold;
+    }
+    
+    public boolean releaseHold(String holdId) {
+        SpotHold hold = activeHolds.remove(holdId);
+        if (hold == null) {
+            return false;
+        }
+        holdExpiryQueue.remove(hold);
+        return lots.get(hold.getLotId()).parkingLot.releaseHold(holdId);
+    }
+    
+    private void expireHolds() {
+        Instant now = Instant.now();
+        SpotHold oldestHold;
+        while ((oldestHold = holdExpiryQueue.peek()) != null && oldestHold.isExpired(now)) {
+            SpotHold expiredHold = holdExpiryQueue.poll();
+            if (expiredHold == null) {
+                return;
+            }
+            if (!expiredHold.isExpired(now)) {
+                holdExpiryQueue.offer(expiredHold);
+                return;
+            }
+            if (activeHolds.remove(expiredHold.getHoldId(), expiredHold)) {
+                lots.get(expiredHold.getLotId()).parkingLot.releaseHold(expiredHold.getHoldId());
+            }
+        }
+    }
+    
+    private FederatedLot findLot(String lotId) {
+        FederatedLot lot = lots.get(lotId);
+        if (lot == null) {
+            throw new IllegalArgumentException("No lot called " + lotId + " in this federation");
+        }
+        return lot;
+    }
+    
+    private SpotType spotTypeFor(Vehicle vehicle) {
+        switch (vehicle.getType()) {
+            case BIKE:
+                return SpotType.SMALL;
+            case ELECTRIC_BIKE:
+                boolean wantsCharging = vehicle instanceof IElectricVehicle && ((IElectricVehicle) vehicle).wantsCharging();
+                return wantsCharging ? SpotType.ELECTRIC : SpotType.SMALL;
+            case CAR:
+                return SpotType.MEDIUM;
+            default:
+                throw new IllegalArgumentException("I don't know where this vehicle should park: " + vehicle.getType());
+        }
+    }
+    
+    private static class FederatedLot {
+        private final String lotId;
+        private final ParkingLot parkingLot;
+        private final GeoLocation location;
+        
+        FederatedLot(String lotId, ParkingLot parkingLot, GeoLocation location) {
+            this.lotId = lotId;
+            this.parkingLot = parkingLot;
+            this.location = location;
+        }
+        
+        LotSummary summarize() {
+            Map<SpotType, Integer> freeSpots = new EnumMap<>(SpotType.class);
+            for (SpotType spotType : SpotType.values()) {
+                freeSpots.put(spotType, parkingLot.getFreeSpotCount(spotType));
+            }
+            return new LotSummary(lotId, location, freeSpots, parkingLot.getFreeChargingSpotCount(), parkingLot.getBusCapacity());
+        }
+    }
+}
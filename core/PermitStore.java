@@ -0,0 +1,105 @@
+package core;
+
+import models.Permit;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public class PermitStore {
+    private volatile PermitSnapshot snapshot;
+    
+    public PermitStore() {
+        this.snapshot = new PermitSnapshot(Collections.emptyList());
+    }
+    
+    public void reload(Collection<Permit> permits) {
+        snapshot = new PermitSnapshot(permits);
+    }
+    
+    public Permit findValidPermit(String vehicleNo) {
+        return snapshot.findValidPermit(vehicleNo, LocalDateTime.now());
+    }
+    
+    public int size() {
+        return snapshot.permitsByVehicleNo.size();
+    }
+    
+    private static class PermitSnapshot {
+        private final PlateBloomFilter knownPlates;
+        private final Map<String, Permit> permitsByVehicleNo;
+        
+        PermitSnapshot(Collection<Permit> permits) {
+            this.knownPlates = new PlateBloomFilter(permits.size());
+            this.permitsByVehicleNo = new HashMap<>(Math.max(16, (int) (permits.size() / 0.75f) + 1));
+            LocalDateTime now = LocalDateTime.now();
+            for (Permit permit : permits) {
+                knownPlates.add(permit.getVehicleNo());
+                Permit listedPermit = permitsByVehicleNo.get(permit.getVehicleNo());
+                if (listedPermit == null || isPreferred(permit, listedPermit, now)) {
+                    permitsByVehicleNo.put(permit.getVehicleNo(), permit);
+                }
+            }
+        }
+        
+        private static boolean isPreferred(Permit candidate, Permit listedPermit, LocalDateTime now) {
+            boolean candidateValid = candidate.isValidAt(now);
+            if (candidateValid != listedPermit.isValidAt(now)) {
+                return candidateValid;
+            }
+            return candidate.getValidUntil().isAfter(listedPermit.getValidUntil());
+        }
+        
+        Permit findValidPermit(String vehicleNo, LocalDateTime now) {
+            if (!knownPlates.mightContain(vehicleNo)) {
+                return null;
+            }
+            Permit permit = permitsByVehicleNo.get(vehicleNo);
+            return permit != null && permit.isValidAt(now) ? permit : null;
+        }
+    }
+    
+    private static class PlateBloomFilter {
+        private static final int BITS_PER_PLATE = 10;
+        private static final int HASH_COUNT = 7;
+        
+        private final long[] bits;
+        private final int bitCount;
+        
+        PlateBloomFilter(int expectedPlates) {
+            this.bitCount = Math.max(64, expectedPlates * BITS_PER_PLATE);
+            this.bits = new long[(bitCount + 63) / 64];
+        }
+        
+        void add(String plate) {
+            int firstHash = plate.hashCode();
+            int secondHash = spread(firstHash);
+            for (int i = 0; i < HASH_COUNT; i++) {
+                int bit = Math.floorMod(firstHash + i * secondHash, bitCount);
+                bits[bit >>> 6] |= 1L << bit;
+            }
+        }
+        
+        boolean mightContain(String plate) {
+            int firstHash = plate.hashCode();
+            int secondHash = spread(firstHash);
+            for (int i = 0; i < HASH_COUNT; i++) {
+                int bit = Math.floorMod(firstHash + i * secondHash, bitCount);
+                if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        private static int spread(int hash) {
+            hash ^= hash >>> 16;
+            hash *= 0x85ebca6b;
+            hash ^= hash >>> 13;
+            hash *= 0xc2b2ae35;
+            hash ^= hash >>> 16;
+            return hash | 1;
+        }
+    }
+}
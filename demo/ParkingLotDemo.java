@@ -6,6 +6,8 @@ import models.*;
 import vehicles.*;
 import enums.*;
 import strategies.*;
+import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -16,6 +18,7 @@ public class ParkingLotDemo {
         addGatesToMall(mall);
         showParkingStatus(mall);
         simulateRealWorldUsage(mall);
+        simulatePassHolder(mall);
     }
     
     private static ParkingLot buildSmartParkingLot() {
@@ -59,6 +62,7 @@ public class ParkingLotDemo {
         
         Vehicle myBike = new Bike("KA01AB1234");
         Vehicle familyCar = new Car("KA05EF9012");        
+        Vehicle cityBus = new Bus("KA09GH3456");
         ElectricBike ecoFriendlyBike = new ElectricBike("KA02CD5678");
         ecoFriendlyBike.setWantsCharging(true);
         
@@ -85,12 +89,17 @@ public class ParkingLotDemo {
             System.out.println("Car " + carTicket.getVehicle().getVehicleNo() + " parked in " + carTicket.getSpot().getSpotType() + " area\n");
         }
         
+        System.out.println("A city bus pulls in:");
+        Ticket busTicket = mainGate.generateTicket(cityBus);
+        if (busTicket != null) {
+            System.out.println("Bus " + busTicket.getVehicle().getVehicleNo() + " took " + busTicket.getSpots().size() + " " + busTicket.getSpot().getSpotType() + " spot(s)\n");
+        }
+        
         System.out.println("Time to leave - the bike owner comes back:");
         if (bikeTicket != null) {
             try {
                 Thread.sleep(1000);
                 double parkingFee = paymentCounter.processExit(bikeTicket);
-                bikeTicket.getSpot().vacate();
                 System.out.println("Bike " + bikeTicket.getVehicle().getVehicleNo() + " left the mall");
                 System.out.println("Parking fee: $" + String.format("%.2f", parkingFee) + "\n");
             } catch (InterruptedException e) {
@@ -99,6 +108,24 @@ public class ParkingLotDemo {
         }
         
         System.out.println("Available spots now: " + mall.getAvailableSpots().size());
+    }
+    
+    private static void simulatePassHolder(ParkingLot mall) {
+        System.out.println("\nA monthly pass holder drives in:");
+        
+        mall.reserveSpotsForGroup("MONTHLY", SpotType.SMALL, 2);
+        LocalDateTime now = LocalDateTime.now();
+        Permit monthlyPass = new Permit("PASS-001", "KA03XY7777", "MONTHLY", SpotType.SMALL, now.minusDays(1), now.plusDays(29));
+        mall.getPermitStore().reload(Collections.singletonList(monthlyPass));
+        
+        Vehicle commuterBike = new Bike("KA03XY7777");
+        Ticket passTicket = mall.getEntryGates().get(1).generateTicket(commuterBike);
+        if (passTicket != null) {
+            System.out.println("Pass " + passTicket.getPermit().getPermitId() + " let " + commuterBike.getVehicleNo() + " into a reserved " + passTicket.getSpot().getSpotType() + " spot");
+            double parkingFee = mall.getExitGates().get(1).processExit(passTicket);
+            System.out.println("Pass holder left, fee: $" + String.format("%.2f", parkingFee));
+        }
+        
         System.out.println("\nThanks for using our Smart Parking System!");
     }
 }
@@ -0,0 +1,9 @@
+package interfaces;
+
+import models.ParkingSpot;
+
+public interface IOccupancyListener {
+    void onSpotOccupied(ParkingSpot spot);
+    void onSpotFreed(ParkingSpot spot);
+    void onBusCapacityChanged(int capacityChange);
+}
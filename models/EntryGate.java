@@ -1,8 +1,12 @@
 package models;
 
 import core.ParkingLot;
+import enums.SpotType;
+import enums.VehicleType;
 import vehicles.Vehicle;
 import interfaces.IElectricVehicle;
+import java.util.Collections;
+import java.util.List;
 
 public class EntryGate {
     private final int gateId;
@@ -26,19 +30,96 @@ public class EntryGate {
             throw new IllegalStateException("This gate isn't connected to a parking lot yet!");
         }
         
-        ParkingSpot availableSpot = parkingLot.getAllocationStrategy().findSpot(parkingLot, vehicle);
-        if (availableSpot == null) {
+        Permit permit = parkingLot.getPermitStore().findValidPermit(vehicle.getVehicleNo());
+        if (vehicle.getType() == VehicleType.BUS) {
+            return generateBusTicket(vehicle, permit);
+        }
+        
+        if (permit != null) {
+            Ticket permitTicket = generatePermitTicket(vehicle, permit);
+            if (permitTicket != null) {
+                return permitTicket;
+            }
+        }
+        
+        ParkingSpot chosenSpot = parkingLot.getAllocationStrategy().findSpot(parkingLot, vehicle);
+        if (chosenSpot == null) {
             return null;
         }
         
-        boolean needsChargingStation = false;
+        List<ParkingSpot> claimedSpots = parkingLot.claimContiguousSpots(vehicle, chosenSpot.getSpotType(), 1);
+        if (claimedSpots.isEmpty()) {
+            return null;
+        }
+        if (permit != null) {
+            return new Ticket(vehicle, claimedSpots, permit);
+        }
+        ParkingSpot availableSpot = claimedSpots.get(0);
+        return new Ticket(vehicle, availableSpot, needsChargingStation(vehicle, availableSpot));
+    }
+    
+    public Ticket generateTicket(Vehicle vehicle, String holdId) {
+        if (parkingLot == null) {
+            throw new IllegalStateException("This gate isn't connected to a parking lot yet!");
+        }
+        
+        if (holdId == null) {
+            return generateTicket(vehicle);
+        }
+        
+        List<ParkingSpot> heldSpots = parkingLot.redeemHold(holdId, vehicle);
+        if (heldSpots.isEmpty()) {
+            return generateTicket(vehicle);
+        }
+        return new Ticket(vehicle, heldSpots, needsChargingStation(vehicle, heldSpots.get(0)));
+    }
+    
+    private boolean needsChargingStation(Vehicle vehicle, ParkingSpot spot) {
         if (vehicle instanceof IElectricVehicle) {
             IElectricVehicle electricVehicle = (IElectricVehicle) vehicle;
-            needsChargingStation = electricVehicle.wantsCharging() && availableSpot.hasChargingPoint();
+            return electricVehicle.wantsCharging() && spot.hasChargingPoint();
         }
-        
-        availableSpot.parkVehicle(vehicle);
-        return new Ticket(vehicle, availableSpot, needsChargingStation);
+        return false;
+    }
+    
+    private Ticket generatePermitTicket(Vehicle vehicle, Permit permit) {
+        List<ParkingSpot> permitSpots = parkingLot.claimReservedSpots(vehicle, permit.getPermitGroup(), permit.getSpotType(), 1);
+        if (permitSpots.isEmpty()) {
+            permitSpots = parkingLot.claimContiguousSpots(vehicle, permit.getSpotType(), 1);
+        }
+        if (permitSpots.isEmpty()) {
+            return null;
+        }
+        return new Ticket(vehicle, permitSpots, permit);
+    }
+    
+    private Ticket generateBusTicket(Vehicle bus, Permit permit) {
+        List<ParkingSpot> spotGroup = Collections.emptyList();
+        if (permit != null) {
+            spotGroup = claimBusSpots(bus, permit.getPermitGroup());
+        }
+        if (spotGroup.isEmpty()) {
+            spotGroup = claimBusSpots(bus, null);
+        }
+        if (spotGroup.isEmpty()) {
+            return null;
+        }
+        return permit != null ? new Ticket(bus, spotGroup, permit) : new Ticket(bus, spotGroup, false);
+    }
+    
+    private List<ParkingSpot> claimBusSpots(Vehicle bus, String permitGroup) {
+        List<ParkingSpot> spotGroup = claimSpots(bus, permitGroup, SpotType.LARGE, 1);
+        if (spotGroup.isEmpty()) {
+            spotGroup = claimSpots(bus, permitGroup, SpotType.MEDIUM, ParkingFloor.MEDIUM_SPOTS_PER_BUS);
+        }
+        return spotGroup;
+    }
+    
+    private List<ParkingSpot> claimSpots(Vehicle vehicle, String permitGroup, SpotType spotType, int count) {
+        if (permitGroup == null) {
+            return parkingLot.claimContiguousSpots(vehicle, spotType, count);
+        }
+        return parkingLot.claimReservedSpots(vehicle, permitGroup, spotType, count);
     }
     
     public int getGateId() {
@@ -1,10 +1,12 @@
 package models;
 
+import core.ParkingLot;
 import interfaces.IPricingStrategy;
 
 public class ExitGate {
     private final int gateId;
     private final IPricingStrategy pricingStrategy;
+    private ParkingLot parkingLot;
     
     public ExitGate(int gateId, IPricingStrategy pricingStrategy) {
         this.gateId = gateId;
@@ -14,10 +16,45 @@ public class ExitGate {
     public ExitGate(ExitGate other) {
         this.gateId = other.gateId;
         this.pricingStrategy = other.pricingStrategy;
+        this.parkingLot = other.parkingLot;
+    }
+    
+    public void setParkingLot(ParkingLot parkingLot) {
+        this.parkingLot = parkingLot;
     }
     
     public double processExit(Ticket ticket) {
-        return pricingStrategy.calculatePrice(ticket);
+        if (ticket.getPermit() != null && hasValidPermit(ticket)) {
+            releaseSpots(ticket);
+            return 0.0;
+        }
+        
+        double parkingFee = pricingStrategy.calculatePrice(ticket);
+        releaseSpots(ticket);
+        return parkingFee;
+    }
+    
+    private boolean hasValidPermit(Ticket ticket) {
+        if (parkingLot == null) {
+            return false;
+        }
+        return parkingLot.getPermitStore().findValidPermit(ticket.getVehicle().getVehicleNo()) != null;
+    }
+    
+    private void releaseSpots(Ticket ticket) {
+        ParkingFloor floor = ticket.getSpot().getFloor();
+        if (floor != null) {
+            floor.releaseSpots(ticket.getSpots(), ticket.getVehicle());
+            return;
+        }
+        for (ParkingSpot spot : ticket.getSpots()) {
+            if (spot.getCurrentVehicle() != ticket.getVehicle()) {
+                throw new IllegalStateException("Ticket " + ticket.getTicketId() + " no longer holds its parking spot");
+            }
+        }
+        for (ParkingSpot spot : ticket.getSpots()) {
+            spot.vacate();
+        }
     }
     
     public int getGateId() {
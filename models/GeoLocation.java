@@ -0,0 +1,57 @@
+package models;
+
+import java.util.Objects;
+
+public final class GeoLocation {
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    
+    private final double latitude;
+    private final double longitude;
+    
+    public GeoLocation(double latitude, double longitude) {
+        if (latitude < -90.0 || latitude > 90.0) {
+            throw new IllegalArgumentException("Latitude must be between -90 and 90: " + latitude);
+        }
+        if (longitude < -180.0 || longitude > 180.0) {
+            throw new IllegalArgumentException("Longitude must be between -180 and 180: " + longitude);
+        }
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+    
+    public double distanceKmTo(GeoLocation other) {
+        double latitudeDelta = Math.toRadians(other.latitude - latitude);
+        double longitudeDelta = Math.toRadians(other.longitude - longitude);
+        double a = Math.sin(latitudeDelta / 2) * Math.sin(latitudeDelta / 2)
+                + Math.cos(Math.toRadians(latitude)) * Math.cos(Math.toRadians(other.latitude))
+                * Math.sin(longitudeDelta / 2) * Math.sin(longitudeDelta / 2);
+        return 2 * EARTH_RADIUS_KM * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+    
+    public double getLatitude() {
+        return latitude;
+    }
+    
+    public double getLongitude() {
+        return longitude;
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        GeoLocation location = (GeoLocation) obj;
+        return Double.compare(latitude, location.latitude) == 0
+                && Double.compare(longitude, location.longitude) == 0;
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(latitude, longitude);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("(%.5f, %.5f)", latitude, longitude);
+    }
+}
@@ -0,0 +1,51 @@
+package models;
+
+import enums.SpotType;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+public final class LotSummary {
+    private final String lotId;
+    private final GeoLocation location;
+    private final Map<SpotType, Integer> freeSpots;
+    private final int freeChargingSpots;
+    private final int busCapacity;
+    
+    public LotSummary(String lotId, GeoLocation location, Map<SpotType, Integer> freeSpots, int freeChargingSpots, int busCapacity) {
+        this.lotId = lotId;
+        this.location = location;
+        this.freeSpots = Collections.unmodifiableMap(new EnumMap<>(freeSpots));
+        this.freeChargingSpots = freeChargingSpots;
+        this.busCapacity = busCapacity;
+    }
+    
+    public String getLotId() {
+        return lotId;
+    }
+    
+    public GeoLocation getLocation() {
+        return location;
+    }
+    
+    public int getFreeSpotCount(SpotType spotType) {
+        return freeSpots.getOrDefault(spotType, 0);
+    }
+    
+    public Map<SpotType, Integer> getFreeSpots() {
+        return freeSpots;
+    }
+    
+    public int getFreeChargingSpots() {
+        return freeChargingSpots;
+    }
+    
+    public int getBusCapacity() {
+        return busCapacity;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%s at %s free=%s charging=%d buses=%d", lotId, location, freeSpots, freeChargingSpots, busCapacity);
+    }
+}
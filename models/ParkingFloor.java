@@ -1,30 +1,334 @@
 package models;
 
+import enums.SpotType;
+import interfaces.IOccupancyListener;
+import vehicles.Vehicle;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class ParkingFloor {
+    public static final int MEDIUM_SPOTS_PER_BUS = 2;
+    
     private final int floorNo;
     private final List<ParkingSpot> spots;
+    private final Map<SpotType, BitSet> freeSpotsByType;
+    private final Map<String, Map<SpotType, BitSet>> reservedFreeSpotsByGroup;
+    private final Map<String, BitSet> heldFreeSpotsByHold;
+    private final List<IOccupancyListener> occupancyListeners;
+    private int busCapacity;
     
     public ParkingFloor(int floorNo) {
         this.floorNo = floorNo;
         this.spots = new ArrayList<>();
+        this.freeSpotsByType = new EnumMap<>(SpotType.class);
+        this.reservedFreeSpotsByGroup = new HashMap<>();
+        this.heldFreeSpotsByHold = new HashMap<>();
+        this.occupancyListeners = new ArrayList<>();
+        this.busCapacity = 0;
     }
     
     public ParkingFloor(ParkingFloor other) {
         this.floorNo = other.floorNo;
         this.spots = new ArrayList<>();
-        for (ParkingSpot spot : other.spots) {
-            this.spots.add(new ParkingSpot(spot));
+        this.freeSpotsByType = new EnumMap<>(SpotType.class);
+        this.reservedFreeSpotsByGroup = new HashMap<>();
+        this.heldFreeSpotsByHold = new HashMap<>();
+        this.occupancyListeners = new ArrayList<>();
+        this.busCapacity = 0;
+        synchronized (other) {
+            for (ParkingSpot spot : other.spots) {
+                addSpot(new ParkingSpot(spot));
+            }
         }
     }
     
-    public void addSpot(ParkingSpot spot) {
+    public synchronized void addSpot(ParkingSpot spot) {
+        int position = spots.size();
+        spot.attachToFloor(this, position);
         spots.add(spot);
+        if (spot.isAvailable()) {
+            freeSpotsFor(spot).set(position);
+            notifySpotFreed(spot);
+        }
+    }
+    
+    public synchronized void addOccupancyListener(IOccupancyListener listener) {
+        occupancyListeners.add(listener);
+        for (ParkingSpot spot : spots) {
+            if (spot.isAvailable() && !spot.isSetAside()) {
+                listener.onSpotFreed(spot);
+            }
+        }
+        if (busCapacity > 0) {
+            listener.onBusCapacityChanged(busCapacity);
+        }
+    }
+    
+    public synchronized List<ParkingSpot> claimContiguousSpots(SpotType spotType, int count, Vehicle vehicle) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Need to claim at least one spot, got " + count);
+        }
+        
+        BitSet freeSpots = freeSpotsByType.get(spotType);
+        if (freeSpots == null) {
+            return Collections.emptyList();
+        }
+        return claimFirstRun(freeSpots, count, vehicle);
+    }
+    
+    public synchronized int reserveSpots(String permitGroup, SpotType spotType, int count) {
+        BitSet freeSpots = freeSpotsByType.get(spotType);
+        if (freeSpots == null) {
+            return 0;
+        }
+        
+        int reservedCount = 0;
+        for (int position = freeSpots.nextSetBit(0); position >= 0 && reservedCount < count; position = freeSpots.nextSetBit(position + 1)) {
+            reserveSpot(position, permitGroup);
+            reservedCount++;
+        }
+        return reservedCount;
+    }
+    
+    public synchronized int releaseReservedSpots(String permitGroup, SpotType spotType, int count) {
+        int releasedCount = 0;
+        Map<SpotType, BitSet> groupPool = reservedFreeSpotsByGroup.get(permitGroup);
+        BitSet groupFreeSpots = groupPool == null ? null : groupPool.get(spotType);
+        if (groupFreeSpots != null) {
+            for (int position = groupFreeSpots.nextSetBit(0); position >= 0 && releasedCount < count; position = groupFreeSpots.nextSetBit(position + 1)) {
+                ParkingSpot spot = spots.get(position);
+                groupFreeSpots.clear(position);
+                spot.reserveFor(null);
+                freeSpotsFor(spot).set(position);
+                notifySpotFreed(spot);
+                releasedCount++;
+            }
+        }
+        
+        for (ParkingSpot spot : spots) {
+            if (releasedCount == count) {
+                break;
+            }
+            if (permitGroup.equals(spot.getReservedGroup()) && spot.getSpotType() == spotType) {
+                spot.reserveFor(null);
+                releasedCount++;
+            }
+        }
+        return releasedCount;
+    }
+    
+    public synchronized int getReservedSpotCount(String permitGroup, SpotType spotType) {
+        int reservedCount = 0;
+        for (ParkingSpot spot : spots) {
+            if (permitGroup.equals(spot.getReservedGroup()) && spot.getSpotType() == spotType) {
+                reservedCount++;
+            }
+        }
+        return reservedCount;
+    }
+    
+    public synchronized boolean holdContiguousSpots(String holdId, SpotType spotType, int count) {
+        BitSet freeSpots = freeSpotsByType.get(spotType);
+        int runStart = freeSpots == null ? -1 : findFreeRun(freeSpots, count);
+        if (runStart < 0) {
+            return false;
+        }
+        
+        BitSet heldFreeSpots = heldFreeSpotsByHold.computeIfAbsent(holdId, id -> new BitSet());
+        for (int position = runStart; position < runStart + count; position++) {
+            ParkingSpot spot = spots.get(position);
+            freeSpots.clear(position);
+            notifySpotOccupied(spot);
+            spot.holdFor(holdId);
+            heldFreeSpots.set(position);
+        }
+        return true;
+    }
+    
+    public synchronized List<ParkingSpot> redeemHeldSpots(String holdId, Vehicle vehicle) {
+        BitSet heldFreeSpots = heldFreeSpotsByHold.remove(holdId);
+        if (heldFreeSpots == null) {
+            return Collections.emptyList();
+        }
+        
+        List<ParkingSpot> claimedSpots = new ArrayList<>();
+        for (int position = heldFreeSpots.nextSetBit(0); position >= 0; position = heldFreeSpots.nextSetBit(position + 1)) {
+            ParkingSpot spot = spots.get(position);
+            spot.holdFor(null);
+            spot.parkVehicle(vehicle);
+            claimedSpots.add(spot);
+        }
+        return claimedSpots;
+    }
+    
+    public synchronized void releaseHeldSpots(String holdId) {
+        BitSet heldFreeSpots = heldFreeSpotsByHold.remove(holdId);
+        if (heldFreeSpots == null) {
+            return;
+        }
+        
+        for (int position = heldFreeSpots.nextSetBit(0); position >= 0; position = heldFreeSpots.nextSetBit(position + 1)) {
+            ParkingSpot spot = spots.get(position);
+            spot.holdFor(null);
+            freeSpotsFor(spot).set(position);
+            notifySpotFreed(spot);
+        }
+    }
+    
+    public synchronized List<ParkingSpot> claimReservedSpots(String permitGroup, SpotType spotType, int count, Vehicle vehicle) {
+        Map<SpotType, BitSet> groupPool = reservedFreeSpotsByGroup.get(permitGroup);
+        BitSet groupFreeSpots = groupPool == null ? null : groupPool.get(spotType);
+        if (groupFreeSpots == null) {
+            return Collections.emptyList();
+        }
+        return claimFirstRun(groupFreeSpots, count, vehicle);
+    }
+    
+    public synchronized void releaseSpots(List<ParkingSpot> spotGroup, Vehicle owner) {
+        for (ParkingSpot spot : spotGroup) {
+            if (spot.getFloor() != this) {
+                throw new IllegalArgumentException("Spot group doesn't belong to floor " + floorNo);
+            }
+            if (spot.getCurrentVehicle() != owner) {
+                throw new IllegalStateException("Spot on floor " + floorNo + " is no longer held by " + owner.getVehicleNo());
+            }
+        }
+        for (ParkingSpot spot : spotGroup) {
+            spot.vacate();
+        }
+    }
+    
+    public synchronized int getFreeSpotCount(SpotType spotType) {
+        BitSet freeSpots = freeSpotsByType.get(spotType);
+        return freeSpots == null ? 0 : freeSpots.cardinality();
+    }
+    
+    public synchronized int getBusCapacity() {
+        return busCapacity;
+    }
+    
+    private List<ParkingSpot> claimFirstRun(BitSet freeSpots, int count, Vehicle vehicle) {
+        int runStart = findFreeRun(freeSpots, count);
+        if (runStart < 0) {
+            return Collections.emptyList();
+        }
+        
+        List<ParkingSpot> claimedSpots = new ArrayList<>(count);
+        for (int position = runStart; position < runStart + count; position++) {
+            ParkingSpot spot = spots.get(position);
+            spot.parkVehicle(vehicle);
+            claimedSpots.add(spot);
+        }
+        return claimedSpots;
+    }
+    
+    private int findFreeRun(BitSet freeSpots, int count) {
+        int runStart = freeSpots.nextSetBit(0);
+        while (runStart >= 0) {
+            int runEnd = freeSpots.nextClearBit(runStart);
+            if (runEnd - runStart >= count) {
+                return runStart;
+            }
+            runStart = freeSpots.nextSetBit(runEnd);
+        }
+        return -1;
+    }
+    
+    private void reserveSpot(int position, String permitGroup) {
+        ParkingSpot spot = spots.get(position);
+        freeSpotsByType.get(spot.getSpotType()).clear(position);
+        notifySpotOccupied(spot);
+        spot.reserveFor(permitGroup);
+        reservedFreeSpots(permitGroup, spot.getSpotType()).set(position);
+    }
+    
+    void markOccupied(ParkingSpot spot) {
+        BitSet freeSpots = freeSpotsFor(spot);
+        if (!freeSpots.get(spot.getPosition())) {
+            return;
+        }
+        freeSpots.clear(spot.getPosition());
+        notifySpotOccupied(spot);
+    }
+    
+    void markFree(ParkingSpot spot) {
+        BitSet freeSpots = freeSpotsFor(spot);
+        if (freeSpots.get(spot.getPosition())) {
+            return;
+        }
+        freeSpots.set(spot.getPosition());
+        notifySpotFreed(spot);
+    }
+    
+    private BitSet freeSpotsFor(ParkingSpot spot) {
+        if (spot.getHoldId() != null) {
+            return heldFreeSpotsByHold.computeIfAbsent(spot.getHoldId(), id -> new BitSet());
+        }
+        if (spot.getReservedGroup() != null) {
+            return reservedFreeSpots(spot.getReservedGroup(), spot.getSpotType());
+        }
+        return freeSpotsByType.computeIfAbsent(spot.getSpotType(), type -> new BitSet());
+    }
+    
+    private BitSet reservedFreeSpots(String permitGroup, SpotType spotType) {
+        return reservedFreeSpotsByGroup
+                .computeIfAbsent(permitGroup, group -> new EnumMap<>(SpotType.class))
+                .computeIfAbsent(spotType, type -> new BitSet());
+    }
+    
+    private void notifySpotOccupied(ParkingSpot spot) {
+        if (spot.isSetAside()) {
+            return;
+        }
+        for (IOccupancyListener listener : occupancyListeners) {
+            listener.onSpotOccupied(spot);
+        }
+        refreshBusCapacity(spot.getSpotType());
+    }
+    
+    private void notifySpotFreed(ParkingSpot spot) {
+        if (spot.isSetAside()) {
+            return;
+        }
+        for (IOccupancyListener listener : occupancyListeners) {
+            listener.onSpotFreed(spot);
+        }
+        refreshBusCapacity(spot.getSpotType());
+    }
+    
+    private void refreshBusCapacity(SpotType changedType) {
+        if (changedType != SpotType.LARGE && changedType != SpotType.MEDIUM) {
+            return;
+        }
+        
+        BitSet freeLargeSpots = freeSpotsByType.get(SpotType.LARGE);
+        int updatedCapacity = freeLargeSpots == null ? 0 : freeLargeSpots.cardinality();
+        BitSet freeMediumSpots = freeSpotsByType.get(SpotType.MEDIUM);
+        if (freeMediumSpots != null) {
+            int runStart = freeMediumSpots.nextSetBit(0);
+            while (runStart >= 0) {
+                int runEnd = freeMediumSpots.nextClearBit(runStart);
+                updatedCapacity += (runEnd - runStart) / MEDIUM_SPOTS_PER_BUS;
+                runStart = freeMediumSpots.nextSetBit(runEnd);
+            }
+        }
+        
+        int capacityChange = updatedCapacity - busCapacity;
+        if (capacityChange == 0) {
+            return;
+        }
+        busCapacity = updatedCapacity;
+        for (IOccupancyListener listener : occupancyListeners) {
+            listener.onBusCapacityChanged(capacityChange);
+        }
     }
     
-    public List<ParkingSpot> getSpots() {
+    public synchronized List<ParkingSpot> getSpots() {
         List<ParkingSpot> spotsCopy = new ArrayList<>();
         for (ParkingSpot spot : spots) {
             spotsCopy.add(new ParkingSpot(spot));
@@ -8,12 +8,20 @@ public class ParkingSpot {
     private final boolean hasChargingPoint;
     private boolean isAvailable;
     private Vehicle currentVehicle;
+    private ParkingFloor floor;
+    private int position;
+    private String reservedGroup;
+    private String holdId;
     
     public ParkingSpot(SpotType spotType, boolean hasChargingPoint) {
         this.spotType = spotType;
         this.hasChargingPoint = hasChargingPoint;
         this.isAvailable = true;
         this.currentVehicle = null;
+        this.floor = null;
+        this.position = -1;
+        this.reservedGroup = null;
+        this.holdId = null;
     }
     
     public ParkingSpot(ParkingSpot other) {
@@ -21,19 +29,65 @@ public class ParkingSpot {
         this.hasChargingPoint = other.hasChargingPoint;
         this.isAvailable = other.isAvailable;
         this.currentVehicle = other.currentVehicle;
+        this.floor = null;
+        this.position = -1;
+        this.reservedGroup = other.reservedGroup;
+        this.holdId = other.holdId;
+    }
+    
+    void attachToFloor(ParkingFloor floor, int position) {
+        if (this.floor != null) {
+            throw new IllegalStateException("Parking spot already belongs to floor " + this.floor.getFloorNo());
+        }
+        this.floor = floor;
+        this.position = position;
+    }
+    
+    ParkingFloor getFloor() {
+        return floor;
+    }
+    
+    int getPosition() {
+        return position;
+    }
+    
+    void reserveFor(String permitGroup) {
+        this.reservedGroup = permitGroup;
+    }
+    
+    void holdFor(String holdId) {
+        this.holdId = holdId;
+    }
+    
+    String getHoldId() {
+        return holdId;
     }
     
     public void parkVehicle(Vehicle vehicle) {
-        if (!isAvailable) {
-            throw new IllegalStateException("Parking spot is already occupied");
+        synchronized (lock()) {
+            if (!isAvailable) {
+                throw new IllegalStateException("Parking spot is already occupied");
+            }
+            this.currentVehicle = vehicle;
+            this.isAvailable = false;
+            if (floor != null) {
+                floor.markOccupied(this);
+            }
         }
-        this.currentVehicle = vehicle;
-        this.isAvailable = false;
     }
     
     public void vacate() {
-        this.currentVehicle = null;
-        this.isAvailable = true;
+        synchronized (lock()) {
+            this.currentVehicle = null;
+            this.isAvailable = true;
+            if (floor != null) {
+                floor.markFree(this);
+            }
+        }
+    }
+    
+    private Object lock() {
+        return floor != null ? floor : this;
     }
     
     public Vehicle getCurrentVehicle() {
@@ -51,4 +105,12 @@ public class ParkingSpot {
     public boolean hasChargingPoint() {
         return hasChargingPoint;
     }
+    
+    public String getReservedGroup() {
+        return reservedGroup;
+    }
+    
+    public boolean isSetAside() {
+        return reservedGroup != null || holdId != null;
+    }
 }
@@ -0,0 +1,76 @@
+package models;
+
+import enums.SpotType;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+public final class Permit {
+    private final String permitId;
+    private final String vehicleNo;
+    private final String permitGroup;
+    private final SpotType spotType;
+    private final LocalDateTime validFrom;
+    private final LocalDateTime validUntil;
+    
+    public Permit(String permitId, String vehicleNo, String permitGroup, SpotType spotType,
+                  LocalDateTime validFrom, LocalDateTime validUntil) {
+        if (vehicleNo == null || vehicleNo.trim().isEmpty()) {
+            throw new IllegalArgumentException("Permit needs a vehicle number");
+        }
+        if (validUntil.isBefore(validFrom)) {
+            throw new IllegalArgumentException("Permit " + permitId + " expires before it starts");
+        }
+        this.permitId = permitId;
+        this.vehicleNo = vehicleNo.trim().toUpperCase();
+        this.permitGroup = permitGroup;
+        this.spotType = spotType;
+        this.validFrom = validFrom;
+        this.validUntil = validUntil;
+    }
+    
+    public boolean isValidAt(LocalDateTime time) {
+        return !time.isBefore(validFrom) && !time.isAfter(validUntil);
+    }
+    
+    public String getPermitId() {
+        return permitId;
+    }
+    
+    public String getVehicleNo() {
+        return vehicleNo;
+    }
+    
+    public String getPermitGroup() {
+        return permitGroup;
+    }
+    
+    public SpotType getSpotType() {
+        return spotType;
+    }
+    
+    public LocalDateTime getValidFrom() {
+        return validFrom;
+    }
+    
+    public LocalDateTime getValidUntil() {
+        return validUntil;
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        Permit permit = (Permit) obj;
+        return Objects.equals(permitId, permit.permitId);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(permitId);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%s{vehicleNo='%s', group='%s', validUntil=%s}", permitId, vehicleNo, permitGroup, validUntil);
+    }
+}
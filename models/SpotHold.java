@@ -0,0 +1,70 @@
+package models;
+
+import enums.SpotType;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+public final class SpotHold {
+    private final String holdId;
+    private final String lotId;
+    private final String vehicleNo;
+    private final SpotType spotType;
+    private final int spotCount;
+    private final Instant expiresAt;
+    
+    public SpotHold(String lotId, String vehicleNo, SpotType spotType, int spotCount, Instant expiresAt) {
+        this.holdId = "HLD-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        this.lotId = lotId;
+        this.vehicleNo = vehicleNo;
+        this.spotType = spotType;
+        this.spotCount = spotCount;
+        this.expiresAt = expiresAt;
+    }
+    
+    public String getHoldId() {
+        return holdId;
+    }
+    
+    public String getLotId() {
+        return lotId;
+    }
+    
+    public String getVehicleNo() {
+        return vehicleNo;
+    }
+    
+    public SpotType getSpotType() {
+        return spotType;
+    }
+    
+    public int getSpotCount() {
+        return spotCount;
+    }
+    
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+    
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        SpotHold hold = (SpotHold) obj;
+        return Objects.equals(holdId, hold.holdId);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(holdId);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%s{lot='%s', vehicleNo='%s', type=%s x%d, expiresAt=%s}", holdId, lotId, vehicleNo, spotType, spotCount, expiresAt);
+    }
+}
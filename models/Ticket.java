@@ -3,22 +3,46 @@ package models;
 import vehicles.Vehicle;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 public final class Ticket {
+    private static final AtomicLong PERMIT_ENTRY_SEQUENCE = new AtomicLong();
+    
     private final String ticketId;
     private final Vehicle vehicle;
-    private final ParkingSpot spot;
+    private final List<ParkingSpot> spots;
     private final LocalDateTime entryTime;
     private final boolean isUsingCharging;
+    private final Permit permit;
     
     public Ticket(Vehicle vehicle, ParkingSpot spot, boolean isUsingCharging) {
-        this.ticketId = generateTicketId();
+        this(vehicle, Collections.singletonList(spot), isUsingCharging);
+    }
+    
+    public Ticket(Vehicle vehicle, List<ParkingSpot> spots, boolean isUsingCharging) {
+        this(generateTicketId(), vehicle, spots, isUsingCharging, null);
+    }
+    
+    public Ticket(Vehicle vehicle, List<ParkingSpot> spots, Permit permit) {
+        this("PMT-" + permit.getPermitId() + "-" + PERMIT_ENTRY_SEQUENCE.incrementAndGet(),
+                vehicle, spots, false, permit);
+    }
+    
+    private Ticket(String ticketId, Vehicle vehicle, List<ParkingSpot> spots, boolean isUsingCharging, Permit permit) {
+        if (spots == null || spots.isEmpty()) {
+            throw new IllegalArgumentException("A ticket needs at least one parking spot");
+        }
+        this.ticketId = ticketId;
         this.vehicle = vehicle;
-        this.spot = spot;
+        this.spots = Collections.unmodifiableList(new ArrayList<>(spots));
         this.entryTime = LocalDateTime.now();
         this.isUsingCharging = isUsingCharging;
+        this.permit = permit;
     }
     
     public String getTicketId() { 
@@ -30,7 +54,11 @@ public final class Ticket {
     }
     
     public ParkingSpot getSpot() { 
-        return spot; 
+        return spots.get(0); 
+    }
+    
+    public List<ParkingSpot> getSpots() { 
+        return spots; 
     }
     
     public LocalDateTime getEntryTime() { 
@@ -41,6 +69,10 @@ public final class Ticket {
         return isUsingCharging; 
     }
     
+    public Permit getPermit() { 
+        return permit; 
+    }
+    
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
@@ -64,14 +96,20 @@ public final class Ticket {
         receipt.append(String.format("Reference      : %s\n", ticketId));
         receipt.append(String.format("Vehicle        : %s (%s)\n", vehicle.getVehicleNo(), vehicle.getType()));
         receipt.append(String.format("Parked at      : %s\n", entryTime.format(timeFormat)));
+        if (spots.size() > 1) {
+            receipt.append(String.format("Spots used     : %d x %s\n", spots.size(), spots.get(0).getSpotType()));
+        }
         receipt.append(String.format("Charging       : %s\n", isUsingCharging ? "Yes, using charging station" : "No charging needed"));
+        if (permit != null) {
+            receipt.append(String.format("Permit         : %s (%s)\n", permit.getPermitId(), permit.getPermitGroup()));
+        }
         receipt.append("==========================================\n");
         receipt.append("Keep this safe - you'll need it to leave!\n");
         receipt.append("==========================================");
         return receipt.toString();
     }
     
-    private String generateTicketId() {
+    private static String generateTicketId() {
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
         String uuid = UUID.randomUUID().toString().substring(0, 6).toUpperCase();
         return "TKT-" + timestamp + "-" + uuid;